@@ -3,6 +3,7 @@ import repository.ITaskRepository;
 import repository.TaskRepository;
 import service.TaskService;
 
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Scanner;
 
@@ -41,6 +42,8 @@ public class Main {
                 case "6" -> searchTasks();
                 case "7" -> listAllTasks();
                 case "8" -> listSortedTasks();
+                case "9" -> archiveCompletedTasks();
+                case "10" -> listArchivedTasks();
                 case "0" -> {
                     System.out.println("Exiting... Goodbye!");
                     running = false;
@@ -64,6 +67,8 @@ public class Main {
         System.out.println("6. Search Tasks");
         System.out.println("7. List All Tasks");
         System.out.println("8. List Tasks Sorted by Status");
+        System.out.println("9. Archive Old DONE Tasks");
+        System.out.println("10. List Archived Tasks");
         System.out.println("0. Exit");
         System.out.print("Enter your choice: ");
     }
@@ -202,6 +207,34 @@ public class Main {
         }
     }
 
+    /**
+     * Moves old DONE tasks out of the active list into the archive.
+     */
+    private static void archiveCompletedTasks() {
+        int archived = taskService.archiveCompletedTasks();
+        System.out.println("Archived " + archived + " tasks.");
+    }
+
+    /**
+     * Lists tasks that were moved to the archive.
+     */
+    private static void listArchivedTasks() {
+        List<Task> tasks;
+        try {
+            tasks = taskService.getArchivedTasks();
+        } catch (UncheckedIOException e) {
+            System.out.println("Error: " + e.getMessage());
+            return;
+        }
+
+        if (tasks.isEmpty()) {
+            System.out.println("No archived tasks.");
+        } else {
+            System.out.println("--- Archived Tasks ---");
+            tasks.forEach(System.out::println);
+        }
+    }
+
     /**
      * Helper method to safely read integers from the user.
      * Prevents the application from crashing if the user enters non-numeric text.
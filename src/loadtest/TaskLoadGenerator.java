@@ -0,0 +1,501 @@
+package loadtest;
+
+import model.Task;
+import repository.ITaskRepository;
+import repository.InMemoryTaskRepository;
+import repository.TaskRepository;
+import service.TaskService;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Workload driver and soak-test harness for TaskService.
+ * Runs a configurable mix of add / update / mark-done / search / list operations from
+ * several threads and reports throughput, latency percentiles, heap and GC stats over time.
+ * <p>
+ * Two load models are supported:
+ * <ul>
+ *   <li>Closed loop ({@code rate=0}): each thread issues the next operation as soon as the previous one ends.</li>
+ *   <li>Open loop ({@code rate>0}): operations arrive at a fixed rate no matter how fast the system responds.
+ *       Latency is measured from the intended start time, so queueing delay is included.</li>
+ * </ul>
+ * Tasks targeted by update / mark-done are picked with a Zipfian distribution over the preloaded tasks.
+ * All repository access is serialized by a single lock, because the repositories are not thread-safe.
+ */
+public class TaskLoadGenerator {
+
+    private static final String USAGE = """
+            Usage: java loadtest.TaskLoadGenerator [key=value ...]
+              threads=8          Worker threads (closed loop) or pool size (open loop)
+              virtual=false      Use virtual threads instead of platform threads
+              rate=0             Target operations per second (0 = closed loop)
+              duration=60        Test duration in seconds
+              interval=5         Reporting interval in seconds
+              tasks=10000        Number of tasks to preload
+              zipf=0.99          Skew of task ID selection, in [0, 1) (0 = uniform)
+              mix=add:10,update:20,done:10,search:30,list:30
+              repo=memory        memory, or file (TaskRepository in a temporary directory, deleted afterwards)""";
+
+    private enum Operation { ADD, UPDATE, DONE, SEARCH, LIST }
+
+    private record Config(int threads, boolean virtual, double rate, int durationSeconds,
+                          int intervalSeconds, int tasks, double zipf, Map<Operation, Integer> mix,
+                          String repo) {
+
+        static Config parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String arg : args) {
+                String[] keyValue = arg.split("=", 2);
+                if (keyValue.length < 2) {
+                    throw new IllegalArgumentException("Expected key=value but got: " + arg);
+                }
+                values.put(keyValue[0].trim(), keyValue[1].trim());
+            }
+
+            Config config = new Config(
+                    Integer.parseInt(values.getOrDefault("threads", "8")),
+                    Boolean.parseBoolean(values.getOrDefault("virtual", "false")),
+                    Double.parseDouble(values.getOrDefault("rate", "0")),
+                    Integer.parseInt(values.getOrDefault("duration", "60")),
+                    Integer.parseInt(values.getOrDefault("interval", "5")),
+                    Integer.parseInt(values.getOrDefault("tasks", "10000")),
+                    Double.parseDouble(values.getOrDefault("zipf", "0.99")),
+                    parseMix(values.getOrDefault("mix", "add:10,update:20,done:10,search:30,list:30")),
+                    values.getOrDefault("repo", "memory"));
+
+            if (config.threads < 1 || config.durationSeconds < 1 || config.intervalSeconds < 1) {
+                throw new IllegalArgumentException("threads, duration and interval must be positive.");
+            }
+            if (config.rate < 0 || config.tasks < 1) {
+                throw new IllegalArgumentException("rate cannot be negative and tasks must be positive.");
+            }
+            if (config.rate > TimeUnit.SECONDS.toNanos(1)) {
+                throw new IllegalArgumentException("rate cannot exceed one operation per nanosecond.");
+            }
+            if (config.zipf < 0 || config.zipf >= 1) {
+                throw new IllegalArgumentException("zipf must be in the range [0, 1).");
+            }
+            if (!config.repo.equals("memory") && !config.repo.equals("file")) {
+                throw new IllegalArgumentException("repo must be 'memory' or 'file'.");
+            }
+            return config;
+        }
+
+        private static Map<Operation, Integer> parseMix(String mix) {
+            Map<Operation, Integer> weights = new LinkedHashMap<>();
+            for (String entry : mix.split(",")) {
+                String[] keyValue = entry.split(":", 2);
+                if (keyValue.length < 2) {
+                    throw new IllegalArgumentException("Expected operation:weight but got: " + entry);
+                }
+                int weight = Integer.parseInt(keyValue[1].trim());
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Weights cannot be negative: " + entry);
+                }
+                weights.put(Operation.valueOf(keyValue[0].trim().toUpperCase()), weight);
+            }
+            if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+                throw new IllegalArgumentException("At least one operation needs a positive weight.");
+            }
+            return weights;
+        }
+    }
+
+    private final Config config;
+    private final Path scratchDirectory;
+    private final TaskService service;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private int[] taskIds;
+    private ZipfianGenerator zipfian;
+
+    private final LatencyHistogram totalHistogram = new LatencyHistogram();
+    private final AtomicReference<LatencyHistogram> intervalHistogram = new AtomicReference<>(new LatencyHistogram());
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private long startNanos;
+    private long lastReportNanos;
+    private long lastGcCount;
+    private long lastGcMillis;
+
+    private TaskLoadGenerator(Config config) throws IOException {
+        this.config = config;
+
+        // The file repository works in a scratch directory so a run never touches real data
+        ITaskRepository repository;
+        if (config.repo.equals("file")) {
+            this.scratchDirectory = Files.createTempDirectory("task-load-");
+            repository = new TaskRepository(scratchDirectory);
+        } else {
+            this.scratchDirectory = null;
+            repository = new InMemoryTaskRepository();
+        }
+        this.service = new TaskService(new LockedTaskRepository(repository));
+
+        this.operations = config.mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += config.mix.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        Config config;
+        try {
+            config = Config.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(USAGE);
+            return;
+        }
+        new TaskLoadGenerator(config).run();
+    }
+
+    private void run() throws InterruptedException, IOException {
+        try {
+            preload();
+            System.out.printf("Config: threads=%d virtual=%b rate=%s duration=%ds tasks=%d zipf=%.2f mix=%s repo=%s%n",
+                    config.threads, config.virtual, config.rate == 0 ? "closed-loop" : config.rate + "/s",
+                    config.durationSeconds, taskIds.length, config.zipf, config.mix,
+                    scratchDirectory == null ? config.repo : config.repo + " (" + scratchDirectory + ")");
+            System.out.println("Note: all repository access is serialized by a single lock.");
+            runLoad();
+        } finally {
+            deleteScratchDirectory();
+        }
+    }
+
+    private void runLoad() throws InterruptedException {
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        startNanos = System.nanoTime();
+        lastReportNanos = startNanos;
+        long[] gc = gcTotals();
+        lastGcCount = gc[0];
+        lastGcMillis = gc[1];
+        reporter.scheduleAtFixedRate(this::reportInterval,
+                config.intervalSeconds, config.intervalSeconds, TimeUnit.SECONDS);
+
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+        if (config.rate == 0) {
+            runClosedLoop(endNanos);
+        } else {
+            runOpenLoop(endNanos);
+        }
+
+        reporter.shutdown();
+        reporter.awaitTermination(config.intervalSeconds, TimeUnit.SECONDS);
+        reportSummary();
+    }
+
+    private void deleteScratchDirectory() throws IOException {
+        if (scratchDirectory == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(scratchDirectory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(scratchDirectory);
+    }
+
+    /**
+     * Tops up the repository to the requested number of tasks and captures their IDs
+     * as the population for Zipfian selection.
+     */
+    private void preload() {
+        int existing = service.getAllTasks().size();
+        for (int i = existing; i < config.tasks; i++) {
+            service.addTask("Task " + i, "Preloaded task number " + i);
+        }
+
+        List<Task> tasks = service.getAllTasks();
+        taskIds = tasks.stream().mapToInt(Task::getId).toArray();
+        zipfian = new ZipfianGenerator(taskIds.length, config.zipf);
+    }
+
+    //  Load Models
+
+    private void runClosedLoop(long endNanos) throws InterruptedException {
+        ThreadFactory factory = config.virtual
+                ? Thread.ofVirtual().name("load-", 0).factory()
+                : Thread.ofPlatform().name("load-", 0).factory();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < config.threads; i++) {
+            Thread worker = factory.newThread(() -> {
+                while (System.nanoTime() < endNanos) {
+                    long start = System.nanoTime();
+                    executeRandomOperation();
+                    record(System.nanoTime() - start);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void runOpenLoop(long endNanos) throws InterruptedException {
+        // With virtual threads every arrival gets its own thread, so concurrency is unbounded
+        ExecutorService executor = config.virtual
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(config.threads);
+
+        // Arrivals are computed from a counter, so rounding never accumulates and nothing overflows
+        double periodNanos = TimeUnit.SECONDS.toNanos(1) / config.rate;
+        long durationNanos = endNanos - startNanos;
+        for (long arrival = 0; ; arrival++) {
+            double offset = arrival * periodNanos;
+            if (offset >= durationNanos) {
+                break;
+            }
+
+            long intendedStart = startNanos + (long) offset;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            executor.execute(new ScheduledOperation(intendedStart));
+        }
+
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            System.err.println("Warning: queued operations did not finish within one minute.");
+
+            // Operations that never started still count, with the time they spent waiting
+            long now = System.nanoTime();
+            for (Runnable queued : executor.shutdownNow()) {
+                record(now - ((ScheduledOperation) queued).scheduled);
+                dropped.increment();
+            }
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * An open-loop arrival, timed from when it was scheduled rather than when it started.
+     */
+    private class ScheduledOperation implements Runnable {
+
+        private final long scheduled;
+
+        ScheduledOperation(long scheduled) {
+            this.scheduled = scheduled;
+        }
+
+        @Override
+        public void run() {
+            executeRandomOperation();
+            record(System.nanoTime() - scheduled);
+        }
+    }
+
+    //  Operations
+
+    private void executeRandomOperation() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (pick >= cumulativeWeights[index]) {
+            index++;
+        }
+
+        try {
+            switch (operations[index]) {
+                case ADD -> service.addTask("Load task", "Added by load generator");
+                case UPDATE -> {
+                    int id = nextTaskId(random);
+                    service.updateTaskDetails(id, "Task " + id, "Updated " + random.nextInt(1000));
+                }
+                case DONE -> service.markTaskAsDone(nextTaskId(random));
+                case SEARCH -> service.searchTasks("Task " + nextTaskId(random));
+                case LIST -> service.getAllTasks();
+            }
+        } catch (RuntimeException e) {
+            errors.increment();
+        }
+    }
+
+    private int nextTaskId(ThreadLocalRandom random) {
+        return taskIds[(int) zipfian.next(random)];
+    }
+
+    //  Reporting
+
+    private void record(long latencyNanos) {
+        totalHistogram.record(latencyNanos);
+        intervalHistogram.get().record(latencyNanos);
+    }
+
+    private void reportInterval() {
+        long now = System.nanoTime();
+        LatencyHistogram histogram = intervalHistogram.getAndSet(new LatencyHistogram());
+        double seconds = (now - lastReportNanos) / 1e9;
+        lastReportNanos = now;
+
+        long[] gc = gcTotals();
+        long gcCount = gc[0] - lastGcCount;
+        long gcMillis = gc[1] - lastGcMillis;
+        lastGcCount = gc[0];
+        lastGcMillis = gc[1];
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        System.out.printf("%7.1fs  %s  heap=%,dMB/%,dMB  gc=%d (%dms)  errors=%d%n",
+                (now - startNanos) / 1e9, formatLatencies(histogram, seconds),
+                heap.getUsed() >> 20, heap.getCommitted() >> 20, gcCount, gcMillis, errors.sum());
+    }
+
+    private void reportSummary() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        long[] gc = gcTotals();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+        System.out.println("--- Summary ---");
+        System.out.printf("total ops=%,d  %s%n", totalHistogram.getCount(), formatLatencies(totalHistogram, seconds));
+        System.out.printf("heap used=%,dMB committed=%,dMB max=%,dMB  gc=%d (%dms)  errors=%d  dropped=%d  tasks=%,d%n",
+                heap.getUsed() >> 20, heap.getCommitted() >> 20, heap.getMax() >> 20,
+                gc[0], gc[1], errors.sum(), dropped.sum(), service.getAllTasks().size());
+    }
+
+    private static String formatLatencies(LatencyHistogram histogram, double seconds) {
+        return String.format("ops/s=%,10.0f  p50=%9.1fus  p99=%9.1fus  p99.9=%9.1fus  max=%9.1fus",
+                histogram.getCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1e3,
+                histogram.getValueAtPercentile(99) / 1e3,
+                histogram.getValueAtPercentile(99.9) / 1e3,
+                histogram.getMax() / 1e3);
+    }
+
+    /**
+     * @return Total collection count and time (ms) across all garbage collectors.
+     */
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[] { count, millis };
+    }
+
+    /**
+     * The repositories are not thread-safe, so every call is serialized here.
+     * Uses a ReentrantLock rather than synchronized so blocked virtual threads do not pin their carrier.
+     * getById returns a copy so the service never mutates a shared Task outside the lock.
+     */
+    private static class LockedTaskRepository implements ITaskRepository {
+
+        private final ITaskRepository delegate;
+        private final Lock lock = new ReentrantLock();
+
+        LockedTaskRepository(ITaskRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void add(Task task) {
+            lock.lock();
+            try {
+                delegate.add(task);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void update(Task task) {
+            lock.lock();
+            try {
+                delegate.update(task);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void delete(int id) {
+            lock.lock();
+            try {
+                delegate.delete(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public Task getById(int id) {
+            lock.lock();
+            try {
+                Task task = delegate.getById(id);
+                if (task == null) {
+                    return null;
+                }
+                return new Task(task.getId(), task.getTitle(), task.getDescription(),
+                        task.getStatus(), task.getCompletedAt());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public List<Task> listAll() {
+            lock.lock();
+            try {
+                return delegate.listAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int archiveDoneTasks() {
+            lock.lock();
+            try {
+                return delegate.archiveDoneTasks();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public List<Task> listArchived() {
+            lock.lock();
+            try {
+                return delegate.listArchived();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
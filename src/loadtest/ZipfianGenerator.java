@@ -0,0 +1,60 @@
+package loadtest;
+
+import java.util.Random;
+
+/**
+ * Generates ranks in [0, items) following a Zipfian distribution, so a few ranks
+ * are hit far more often than the rest (like a handful of "hot" tasks).
+ * Based on the algorithm from Gray et al., "Quickly Generating Billion-Record
+ * Synthetic Databases" (SIGMOD 1994).
+ * Rank 0 is the most popular. A skew of 0 gives a uniform distribution.
+ */
+class ZipfianGenerator {
+
+    private final long items;
+    private final double theta;
+    private final double zetaN;
+    private final double alpha;
+    private final double eta;
+
+    /**
+     * @param items The number of distinct ranks.
+     * @param theta The skew, in the range [0, 1). Higher means more skewed.
+     */
+    ZipfianGenerator(long items, double theta) {
+        if (items < 1) {
+            throw new IllegalArgumentException("Zipfian item count must be at least 1.");
+        }
+        if (theta < 0 || theta >= 1) {
+            throw new IllegalArgumentException("Zipfian skew must be in the range [0, 1).");
+        }
+
+        this.items = items;
+        this.theta = theta;
+        this.zetaN = zeta(items, theta);
+        this.alpha = 1.0 / (1.0 - theta);
+        this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta(2, theta) / zetaN);
+    }
+
+    long next(Random random) {
+        double u = random.nextDouble();
+        double uz = u * zetaN;
+
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < 1.0 + Math.pow(0.5, theta)) {
+            return Math.min(1, items - 1);
+        }
+        long rank = (long) (items * Math.pow(eta * u - eta + 1, alpha));
+        return Math.min(rank, items - 1);
+    }
+
+    private static double zeta(long n, double theta) {
+        double sum = 0;
+        for (long i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}
@@ -9,6 +9,7 @@ public class Task {
     private String title;
     private String description;
     private Status status;
+    private long completedAt; // Epoch millis when the task became DONE (0 = not completed)
 
     // Constructor for new tasks (ID will be assigned by Repository)
     public Task(String title, String description) {
@@ -25,6 +26,12 @@ public class Task {
         this.status = status;
     }
 
+    // Constructor for loading from file (including completion time)
+    public Task(int id, String title, String description, Status status, long completedAt) {
+        this(id, title, description, status);
+        this.completedAt = completedAt;
+    }
+
     // --- Getters and Setters ---
 
     public int getId() {
@@ -59,6 +66,14 @@ public class Task {
         this.status = status;
     }
 
+    public long getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(long completedAt) {
+        this.completedAt = completedAt;
+    }
+
     @Override
     public String toString() {
         return "Task [ID=" + id + ", Title=" + title + ", Description=" + description + ", Status=" + status + "]";
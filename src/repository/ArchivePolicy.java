@@ -0,0 +1,45 @@
+package repository;
+
+import model.Status;
+import model.Task;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Archival rules shared by the repository implementations.
+ */
+final class ArchivePolicy {
+
+    static final Duration DEFAULT_ARCHIVE_AFTER = Duration.ofDays(30);
+
+    /**
+     * The result of splitting the live tasks: what to archive and what stays live.
+     */
+    record Split(List<Task> cold, List<Task> live) {
+    }
+
+    private ArchivePolicy() {
+    }
+
+    /**
+     * Splits the tasks in a single pass into DONE tasks completed longer ago than the threshold
+     * and everything else. Both lists keep the original order.
+     * @param tasks The live tasks.
+     * @param archiveAfter How long a task must have been DONE before it is archived.
+     */
+    static Split split(List<Task> tasks, Duration archiveAfter) {
+        long cutoff = System.currentTimeMillis() - archiveAfter.toMillis();
+        List<Task> cold = new ArrayList<>();
+        List<Task> live = new ArrayList<>(tasks.size());
+        for (Task t : tasks) {
+            if (t.getStatus() == Status.DONE && t.getCompletedAt() <= cutoff) {
+                cold.add(t);
+            } else {
+                live.add(t);
+            }
+        }
+        return new Split(cold, live);
+    }
+}
\ No newline at end of file
@@ -13,4 +13,17 @@ public interface ITaskRepository {
     void delete(int id);
     Task getById(int id);
     List<Task> listAll();
+
+    /**
+     * Moves DONE tasks older than the archival threshold out of the live list
+     * into the cold archive segment.
+     * @return The number of tasks that were archived.
+     */
+    int archiveDoneTasks();
+
+    /**
+     * Reads all archived tasks. Archived data is never part of the other operations.
+     * @throws java.io.UncheckedIOException If the archive cannot be read.
+     */
+    List<Task> listArchived();
 }
\ No newline at end of file
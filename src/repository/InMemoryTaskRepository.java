@@ -0,0 +1,79 @@
+package repository;
+
+import model.Task;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps tasks in memory only. Nothing is persisted between runs.
+ * Mirrors the behavior of TaskRepository without file I/O, which makes it useful
+ * for load runs that should not touch tasks.json.
+ */
+public class InMemoryTaskRepository implements ITaskRepository {
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<Task> archived = new ArrayList<>();
+    private final Duration archiveAfter;
+    private int nextId = 1;
+
+    public InMemoryTaskRepository() {
+        this(ArchivePolicy.DEFAULT_ARCHIVE_AFTER);
+    }
+
+    /**
+     * @param archiveAfter How long a task must have been DONE before it is archived.
+     */
+    public InMemoryTaskRepository(Duration archiveAfter) {
+        this.archiveAfter = archiveAfter;
+    }
+
+    @Override
+    public void add(Task task) {
+        task.setId(nextId++);
+        tasks.add(task);
+    }
+
+    @Override
+    public void update(Task updatedTask) {
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i).getId() == updatedTask.getId()) {
+                tasks.set(i, updatedTask);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        tasks.removeIf(t -> t.getId() == id);
+    }
+
+    @Override
+    public Task getById(int id) {
+        return tasks.stream()
+                .filter(t -> t.getId() == id)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public List<Task> listAll() {
+        return new ArrayList<>(tasks);
+    }
+
+    @Override
+    public int archiveDoneTasks() {
+        ArchivePolicy.Split split = ArchivePolicy.split(tasks, archiveAfter);
+        archived.addAll(split.cold());
+        tasks.clear();
+        tasks.addAll(split.live());
+        return split.cold().size();
+    }
+
+    @Override
+    public List<Task> listArchived() {
+        return new ArrayList<>(archived);
+    }
+}
@@ -3,27 +3,87 @@ package repository;
 import model.Status;
 import model.Task;
 
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Manages task persistence using a local JSON file.
  * Handles manual parsing and writing of JSON data without external libraries.
+ * <p>
+ * DONE tasks older than the archival threshold are moved out of the live file into an
+ * append-only, GZIP-compressed archive (one JSON object per line). Each archive run appends
+ * a new GZIP member, so existing archived data is never rewritten. The highest archived ID is
+ * kept in a small sidecar file, so the archive itself is only read when archived tasks are requested.
  */
 public class TaskRepository implements ITaskRepository {
 
-    private static final String FILE_PATH = "tasks.json";
+    private static final String FILE_NAME = "tasks.json";
+    private static final String ARCHIVE_FILE_NAME = "tasks-archive.jsonl.gz";
+    private static final String ARCHIVE_MAX_ID_FILE_NAME = "tasks-archive.maxid";
+
+    private final Path filePath;
+    private final Path archivePath;
+    private final Path archiveMaxIdPath;
     private final List<Task> tasks;
+    private final Duration archiveAfter;
     private int nextId = 1;
+    private int archivedMaxId = 0;
+    private boolean archiveUnreadable = false;
 
     public TaskRepository() {
+        this(ArchivePolicy.DEFAULT_ARCHIVE_AFTER);
+    }
+
+    /**
+     * Stores the task files in the current working directory.
+     * @param archiveAfter How long a task must have been DONE before it is archived.
+     */
+    public TaskRepository(Duration archiveAfter) {
+        this(Paths.get(""), archiveAfter);
+    }
+
+    /**
+     * @param directory The directory holding the live file and the archive.
+     */
+    public TaskRepository(Path directory) {
+        this(directory, ArchivePolicy.DEFAULT_ARCHIVE_AFTER);
+    }
+
+    /**
+     * @param directory The directory holding the live file and the archive.
+     * @param archiveAfter How long a task must have been DONE before it is archived.
+     */
+    public TaskRepository(Path directory, Duration archiveAfter) {
+        this.filePath = directory.resolve(FILE_NAME);
+        this.archivePath = directory.resolve(ARCHIVE_FILE_NAME);
+        this.archiveMaxIdPath = directory.resolve(ARCHIVE_MAX_ID_FILE_NAME);
         this.tasks = new ArrayList<>();
-        loadDataFromFile();
+        this.archiveAfter = archiveAfter;
+        boolean backfilled = loadDataFromFile();
+
+        // Persist backfilled completion times, otherwise they would reset on every launch
+        if (archiveColdTasks() == 0 && backfilled) {
+            saveDataToFile();
+        }
     }
 
     //  Public Operations
@@ -64,18 +124,166 @@ public class TaskRepository implements ITaskRepository {
         return new ArrayList<>(tasks);
     }
 
-    //  File Handling & Manual JSON Parsing
+    @Override
+    public int archiveDoneTasks() {
+        return archiveColdTasks();
+    }
+
+    /**
+     * Archived tasks are read back with duplicates removed by ID (the latest record wins),
+     * since a failed save can leave a task in both the archive and the live file until the next run.
+     * @throws UncheckedIOException If the archive exists but cannot be fully read.
+     */
+    @Override
+    public List<Task> listArchived() {
+        Map<Integer, Task> archived = new LinkedHashMap<>();
+        readArchive(t -> archived.put(t.getId(), t));
+        return new ArrayList<>(archived.values());
+    }
 
-    private void loadDataFromFile() {
-        Path path = Paths.get(FILE_PATH);
-        if (!Files.exists(path)) {
+    //  Archive Handling
+
+    private int archiveColdTasks() {
+        if (archiveUnreadable) {
+            System.err.println("Archiving is disabled until " + archivePath + " is repaired.");
+            return 0;
+        }
+
+        ArchivePolicy.Split split = ArchivePolicy.split(tasks, archiveAfter);
+        List<Task> coldTasks = split.cold();
+        if (coldTasks.isEmpty()) {
+            return 0;
+        }
+
+        // Append first, so a failed write never loses tasks from the live list
+        if (!appendToArchive(coldTasks)) {
+            return 0;
+        }
+
+        int maxId = Math.max(archivedMaxId, coldTasks.stream().mapToInt(Task::getId).max().orElse(0));
+        if (!saveArchivedMaxId(maxId)) {
+            return 0;
+        }
+        archivedMaxId = maxId;
+
+        List<Task> previousTasks = new ArrayList<>(tasks);
+        tasks.clear();
+        tasks.addAll(split.live());
+        if (!saveDataToFile()) {
+            // Keep memory in line with the file; the next run archives these tasks again
+            tasks.clear();
+            tasks.addAll(previousTasks);
+            return 0;
+        }
+        return coldTasks.size();
+    }
+
+    private boolean appendToArchive(List<Task> coldTasks) {
+        long previousSize;
+        try {
+            previousSize = Files.exists(archivePath) ? Files.size(archivePath) : 0;
+        } catch (IOException e) {
+            System.err.println("Error archiving tasks: " + e.getMessage());
+            return false;
+        }
+
+        try (Writer writer = new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(archivePath.toFile(), true)), StandardCharsets.UTF_8)) {
+            for (Task t : coldTasks) {
+                writer.write(toJson(t));
+                writer.write("\n");
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error archiving tasks: " + e.getMessage());
+        }
+
+        // Drop the partial GZIP member, otherwise every member appended after it becomes unreadable
+        try (FileChannel channel = FileChannel.open(archivePath, StandardOpenOption.WRITE)) {
+            channel.truncate(previousSize);
+        } catch (IOException e) {
+            System.err.println("Error restoring archive after failed write: " + e.getMessage());
+        }
+        return false;
+    }
+
+    private boolean saveArchivedMaxId(int maxId) {
+        try {
+            Files.writeString(archiveMaxIdPath, String.valueOf(maxId),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error saving archive metadata: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private int loadArchivedMaxId() {
+        if (Files.exists(archiveMaxIdPath)) {
+            try {
+                return Integer.parseInt(Files.readString(archiveMaxIdPath).trim());
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Error reading archive metadata, scanning archive: " + e.getMessage());
+            }
+        } else if (!Files.exists(archivePath)) {
+            return 0;
+        }
+
+        // Fallback: rebuild the metadata from the archive itself
+        int[] maxId = { 0 };
+        try {
+            readArchive(t -> maxId[0] = Math.max(maxId[0], t.getId()));
+        } catch (UncheckedIOException e) {
+            // Keep the live tasks usable; archiving more data after a damaged member would hide it
+            System.err.println("Warning: " + e.getMessage() + ". Archiving is disabled until it is repaired; "
+                    + "new IDs continue from the highest readable ID.");
+            archiveUnreadable = true;
+            return maxId[0];
+        }
+        saveArchivedMaxId(maxId[0]);
+        return maxId[0];
+    }
+
+    private void readArchive(Consumer<Task> consumer) {
+        if (!Files.exists(archivePath)) {
             return;
         }
 
+        // GZIPInputStream reads all concatenated members written by successive archive runs
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archivePath)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Task task = parseTask(line);
+                if (task != null) {
+                    consumer.accept(task);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Archive " + archivePath + " is unreadable or truncated", e);
+        }
+    }
+
+    //  File Handling & Manual JSON Parsing
+
+    /**
+     * @return true if completion times were backfilled and the file should be saved again.
+     */
+    private boolean loadDataFromFile() {
+        // Archived IDs must never be handed out again
+        this.archivedMaxId = loadArchivedMaxId();
+        this.nextId = archivedMaxId + 1;
+
+        if (!Files.exists(filePath)) {
+            return false;
+        }
+
+        boolean backfilled = false;
+
         try {
-            String content = Files.readString(path).trim();
+            String content = Files.readString(filePath).trim();
             if (content.isEmpty() || content.equals("[]")) {
-                return;
+                return false;
             }
 
             // Remove outer brackets [ ]
@@ -84,41 +292,49 @@ public class TaskRepository implements ITaskRepository {
             }
 
             if (content.isEmpty()) {
-                return;
+                return false;
             }
 
             String[] taskObjects = content.split("(?<=\\}),\\s*(?=\\{)");
 
+            long now = System.currentTimeMillis();
             for (String taskJson : taskObjects) {
-                parseTask(taskJson);
-            }
+                Task task = parseTask(taskJson);
+                if (task == null) continue;
 
+                // DONE tasks saved before completion times were tracked start aging from now
+                if (task.getStatus() == Status.DONE && task.getCompletedAt() == 0) {
+                    task.setCompletedAt(now);
+                    backfilled = true;
+                }
+                tasks.add(task);
+            }
 
-            this.nextId = tasks.stream()
-                    .mapToInt(Task::getId)
-                    .max()
-                    .orElse(0) + 1;
+            this.nextId = Math.max(archivedMaxId,
+                    tasks.stream().mapToInt(Task::getId).max().orElse(0)) + 1;
 
         } catch (IOException e) {
             System.err.println("Error loading tasks: " + e.getMessage());
         }
+        return backfilled;
     }
 
-    private void parseTask(String json) {
+    private Task parseTask(String json) {
         json = json.trim();
-        if (json.isEmpty()) return;
+        if (json.isEmpty()) return null;
 
         // Remove surrounding curly braces
         if (json.startsWith("{")) json = json.substring(1);
         if (json.endsWith("}")) json = json.substring(0, json.length() - 1);
 
         json = json.trim();
-        if (json.isEmpty()) return;
+        if (json.isEmpty()) return null;
 
         int id = 0;
         String title = "";
         String description = "";
         Status status = Status.NEW;
+        long completedAt = 0;
 
         String[] fields = json.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
 
@@ -141,6 +357,7 @@ public class TaskRepository implements ITaskRepository {
                     case "title" -> title = value;
                     case "description" -> description = value;
                     case "status" -> status = Status.valueOf(value);
+                    case "completedAt" -> completedAt = Long.parseLong(value);
                 }
             } catch (Exception e) {
                 // Ignore invalid fields
@@ -148,23 +365,18 @@ public class TaskRepository implements ITaskRepository {
         }
 
         if (id > 0 || !title.isEmpty()) {
-            tasks.add(new Task(id, title, description, status));
+            return new Task(id, title, description, status, completedAt);
         }
+        return null;
     }
 
-    private void saveDataToFile() {
+    /**
+     * @return true if the file was written successfully.
+     */
+    private boolean saveDataToFile() {
         StringBuilder json = new StringBuilder("[\n");
         for (int i = 0; i < tasks.size(); i++) {
-            Task t = tasks.get(i);
-
-
-            json.append(String.format(
-                    "  { \"id\": %d, \"title\": \"%s\", \"description\": \"%s\", \"status\": \"%s\" }",
-                    t.getId(),
-                    escape(t.getTitle()),
-                    escape(t.getDescription()),
-                    t.getStatus()
-            ));
+            json.append("  ").append(toJson(tasks.get(i)));
 
             if (i < tasks.size() - 1) {
                 json.append(",\n");
@@ -173,13 +385,26 @@ public class TaskRepository implements ITaskRepository {
         json.append("\n]");
 
         try {
-            Files.writeString(Paths.get(FILE_PATH), json.toString(),
+            Files.writeString(filePath, json.toString(),
                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            return true;
         } catch (IOException e) {
             System.err.println("Error saving tasks: " + e.getMessage());
+            return false;
         }
     }
 
+    private String toJson(Task t) {
+        return String.format(
+                "{ \"id\": %d, \"title\": \"%s\", \"description\": \"%s\", \"status\": \"%s\", \"completedAt\": %d }",
+                t.getId(),
+                escape(t.getTitle()),
+                escape(t.getDescription()),
+                t.getStatus(),
+                t.getCompletedAt()
+        );
+    }
+
     //  Helper Methods for Data Integrity
 
     private String escape(String raw) {
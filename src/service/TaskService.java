@@ -92,7 +92,10 @@ public class TaskService {
     public boolean markTaskAsDone(int id) {
         Task task = repository.getById(id);
         if (task != null) {
-            task.setStatus(Status.DONE);
+            if (task.getStatus() != Status.DONE) {
+                task.setStatus(Status.DONE);
+                task.setCompletedAt(System.currentTimeMillis());
+            }
             repository.update(task);
             return true;
         } else {
@@ -128,4 +131,20 @@ public class TaskService {
                 .sorted(Comparator.comparing(Task::getStatus))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Moves DONE tasks older than the repository's archival threshold into the archive.
+     * @return The number of archived tasks.
+     */
+    public int archiveCompletedTasks() {
+        return repository.archiveDoneTasks();
+    }
+
+    /**
+     * Retrieves archived tasks. These are not included in any other listing or search.
+     * @return A list of all archived tasks.
+     */
+    public List<Task> getArchivedTasks() {
+        return repository.listArchived();
+    }
 }
\ No newline at end of file